@@ -0,0 +1,104 @@
+package cphne.flatfileparser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads the lines of a flat file as raw bytes.
+ * <p>
+ * Lines are terminated by a line feed, a carriage return or a carriage return followed by a line feed, as encoded in
+ * the charset of the provided {@link FieldDecoder}. The bytes of the current line are only valid until the next call
+ * to {@link ByteLineReader#readLine()}.
+ */
+class ByteLineReader implements Closeable {
+
+    private final InputStream inputStream;
+
+    private final byte lineFeed;
+
+    private final byte carriageReturn;
+
+    private final byte[] buffer = new byte[8192];
+
+    private int position;
+
+    private int limit;
+
+    private byte[] line = new byte[256];
+
+    private int length;
+
+    private boolean skipLineFeed;
+
+    ByteLineReader(InputStream inputStream, FieldDecoder decoder) {
+        this.inputStream = inputStream;
+        this.lineFeed = decoder.lineFeed();
+        this.carriageReturn = decoder.carriageReturn();
+    }
+
+    /**
+     * Read the next line
+     *
+     * @return {@code false} if the end of the stream has been reached and no further line is available
+     * @throws IOException if the stream cant be read
+     */
+    boolean readLine() throws IOException {
+        length = 0;
+        boolean read = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                return read;
+            }
+            byte b = buffer[position++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (b == lineFeed) {
+                    continue;
+                }
+            }
+            read = true;
+            if (b == lineFeed) {
+                return true;
+            }
+            if (b == carriageReturn) {
+                skipLineFeed = true;
+                return true;
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, line.length * 2);
+            }
+            line[length++] = b;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read = inputStream.read(buffer);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    /**
+     * @return the bytes of the current line, only the first {@link ByteLineReader#length()} bytes are valid
+     */
+    byte[] line() {
+        return line;
+    }
+
+    /**
+     * @return the length of the current line in bytes
+     */
+    int length() {
+        return length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
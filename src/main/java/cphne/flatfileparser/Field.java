@@ -10,19 +10,30 @@ import java.lang.annotation.Target;
  * <p>
  * Define the start and end positions of a field. Is required by {@link FlatFileParser} to parse records of a flat file
  * and the referenced fields.
+ * <p>
+ * Positions are byte offsets within the record as encoded in the charset of the parser. For single byte charsets these
+ * are equal to character positions.
  */
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Field {
     /**
      * 
-     * @return the start position of a field
+     * @return the start position of a field in bytes, inclusive
      */
     int start();
 
     /**
      * 
-     * @return the end position of a field
+     * @return the end position of a field in bytes, exclusive
      */
     int end();
+
+    /**
+     * Marks the field as part of the record key. Key fields identify a record across two versions of a flat file,
+     * see {@link FlatFileParser#diff}. Multiple key fields form a composite key.
+     *
+     * @return {@code true} if the field is part of the record key
+     */
+    boolean key() default false;
 }
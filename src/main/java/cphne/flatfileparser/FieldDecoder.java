@@ -0,0 +1,114 @@
+package cphne.flatfileparser;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes the bytes of single fields of a record with a fixed charset.
+ * <p>
+ * For single byte charsets every byte is looked up in a precomputed table, which avoids creating a
+ * {@link java.nio.charset.CharsetDecoder} per field. ISO-8859-1 and US-ASCII are handed to the {@link String}
+ * constructor directly, which already copies them without a decoder.
+ */
+class FieldDecoder {
+
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final Charset charset;
+
+    /**
+     * Maps each byte to its character, {@code null} if the charset is not a single byte charset or is decoded by the
+     * String constructor without a decoder
+     */
+    private final char[] table;
+
+    private final boolean[] whitespace = new boolean[256];
+
+    private final byte lineFeed;
+
+    private final byte carriageReturn;
+
+    /**
+     * @param charset  the charset of the records
+     * @throws IllegalArgumentException if line feed or carriage return are not encoded as a single byte in the charset
+     */
+    FieldDecoder(Charset charset) {
+        this.charset = charset;
+        boolean intrinsic = charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII);
+        boolean singleByte = charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1;
+        this.table = !intrinsic && singleByte ? decodeTable(charset) : null;
+        this.lineFeed = encodeSingleByte('\n');
+        this.carriageReturn = encodeSingleByte('\r');
+        for (char c = 0; c < 128; c++) {
+            if (Character.isWhitespace(c)) {
+                byte[] encoded = String.valueOf(c).getBytes(charset);
+                if (encoded.length == 1) {
+                    whitespace[encoded[0] & 0xFF] = true;
+                }
+            }
+        }
+    }
+
+    private static char[] decodeTable(Charset charset) {
+        char[] table = new char[256];
+        for (int i = 0; i < table.length; i++) {
+            String decoded = new String(new byte[]{(byte) i}, charset);
+            table[i] = decoded.length() == 1 ? decoded.charAt(0) : REPLACEMENT;
+        }
+        return table;
+    }
+
+    private byte encodeSingleByte(char c) {
+        byte[] encoded = String.valueOf(c).getBytes(charset);
+        if (encoded.length != 1) {
+            throw new IllegalArgumentException("Unsupported charset %s, line terminators must be encoded as a single byte."
+                    .formatted(charset));
+        }
+        return encoded[0];
+    }
+
+    /**
+     * Decode the bytes of a single field
+     *
+     * @param bytes  the bytes of the line
+     * @param start  the start position of the field, inclusive
+     * @param end  the end position of the field, exclusive
+     * @return the decoded field
+     */
+    String decode(byte[] bytes, int start, int end) {
+        if (table == null) {
+            return new String(bytes, start, end - start, charset);
+        }
+        char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = table[bytes[start + i] & 0xFF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param bytes  the bytes of the line
+     * @param length  the length of the line
+     * @return {@code true} if the line is empty or consists of whitespace only
+     */
+    boolean isBlank(byte[] bytes, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!whitespace[bytes[i] & 0xFF]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    byte lineFeed() {
+        return lineFeed;
+    }
+
+    byte carriageReturn() {
+        return carriageReturn;
+    }
+
+    Charset charset() {
+        return charset;
+    }
+}
@@ -3,6 +3,7 @@ package cphne.flatfileparser;
 import java.io.*;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Declares operations for parsing and writing of files formatted as a flat file
@@ -13,6 +14,9 @@ import java.util.List;
  * <p>
  * Transferring/writing objects to a flat file works similar to the parse operations. The Class of objects that 
  * should be written is required to provide the flat file format via the {@link Field} annotation.
+ * <p>
+ * Files and streams are read and written as bytes in the charset of the parser, see {@link ParserFactory}. Only the
+ * bytes of the defined fields are decoded.
  */
 public interface FlatFileParser {
 
@@ -54,6 +58,9 @@ public interface FlatFileParser {
 
     /**
      * Parse a content of a BufferedReader and map the contained data to Objects
+     * <p>
+     * The content of a reader has already been decoded, each line is encoded with the charset of the parser again so
+     * the {@link Field} positions are applied as byte offsets like for the other variants.
      *
      * @param reader  the reader which contents to parse
      * @param clazz  the type the data should be mapped to
@@ -74,4 +81,28 @@ public interface FlatFileParser {
      * @throws ParserException if the parser cant convert the objects to the specified flat file format
      */
     <T> void write(OutputStream stream, List<T> data) throws IOException, ParserException;
+
+    /**
+     * Compare two versions of a flat file and report inserted, updated and deleted records
+     * <p>
+     * Records are matched by the fields marked as {@link Field#key()}. The remaining data of a record is compared by a
+     * hash of its raw line, only records which changed are mapped into objects. The files are read line by line, only
+     * the keys and hashes of the previous file, the keys of inserted records and the lines of changed records are held
+     * in memory.
+     *
+     * @param previous  the path to the previous version of the file
+     * @param current  the path to the current version of the file
+     * @param clazz  the type the data should be mapped to
+     * @param consumer  receives a {@link RecordChange} for each changed record
+     * @param <T> the type of objects in which the data will be mapped
+     * @throws IOException if one of the files cant be read or opened
+     * @throws ParserException if the parser cant parse the files, the type does not define a key field or a key occurs
+     * more than once within one of the files
+     */
+    <T> void diff(
+            Path previous,
+            Path current,
+            Class<T> clazz,
+            Consumer<RecordChange<T>> consumer
+    ) throws IOException, ParserException;
 }
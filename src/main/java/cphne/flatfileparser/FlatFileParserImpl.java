@@ -4,12 +4,19 @@ import java.io.*;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the {@link FlatFileParser} interface
@@ -18,24 +25,59 @@ class FlatFileParserImpl implements FlatFileParser {
 
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(FlatFileParserImpl.class);
 
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Replaces the hash of a previous record once it has been matched by a record of the current file
+     */
+    private static final long MATCHED = 0L;
+
     /**
      * The character to use to remaining space of a field
      */
     private final String padCharacter;
 
     /**
-     * Default constructor. Defines {@code " "} as the default {@link FlatFileParserImpl#padCharacter}
+     * The charset the records are encoded with, {@link Field} positions are byte offsets in this encoding
+     */
+    private final Charset charset;
+
+    private final FieldDecoder decoder;
+
+    /**
+     * Default constructor. Defines {@code " "} as the default {@link FlatFileParserImpl#padCharacter} and UTF-8 as the
+     * default {@link FlatFileParserImpl#charset}
      */
     public FlatFileParserImpl() {
-        this.padCharacter = " ";
+        this(" ");
     }
 
     /**
      * 
      * @param padCharacter  the Character to use for padding fields
+     * @throws IllegalArgumentException if the pad character is not encoded as a single byte in UTF-8
      */
     public FlatFileParserImpl(String padCharacter) {
+        this(padCharacter, StandardCharsets.UTF_8);
+    }
+
+    /**
+     *
+     * @param padCharacter  the Character to use for padding fields
+     * @param charset  the charset the records are encoded with
+     * @throws IllegalArgumentException if the pad character or line terminators are not encoded as a single byte in
+     * the charset
+     */
+    public FlatFileParserImpl(String padCharacter, Charset charset) {
+        this.decoder = new FieldDecoder(charset);
+        if (padCharacter.getBytes(charset).length != 1) {
+            throw new IllegalArgumentException("Unsupported pad character '%s', it must be encoded as a single byte in %s."
+                    .formatted(padCharacter, charset));
+        }
         this.padCharacter = padCharacter;
+        this.charset = charset;
     }
 
     @Override
@@ -45,16 +87,21 @@ class FlatFileParserImpl implements FlatFileParser {
 
     @Override
     public <T> List<T> parse(Path path, Class<T> clazz) throws IOException, ParserException {
-        try (BufferedReader bufferedReader = Files.newBufferedReader(path)) {
-            return parse(bufferedReader, clazz);
-        }
+        return parse(Files.newInputStream(path), clazz);
     }
 
     @Override
     public <T> List<T> parse(InputStream inputStream, Class<T> clazz) throws IOException, ParserException {
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream))) {
-            return parse(bufferedReader, clazz);
+        List<T> targets = new ArrayList<>();
+        try (ByteLineReader reader = new ByteLineReader(inputStream, decoder)) {
+            while (reader.readLine() && !decoder.isBlank(reader.line(), reader.length())) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Parsing line {}", new String(reader.line(), 0, reader.length(), charset));
+                }
+                targets.add(parseRecord(rawLine(reader.line(), reader.length()), clazz));
+            }
         }
+        return targets;
     }
 
     @Override
@@ -63,17 +110,32 @@ class FlatFileParserImpl implements FlatFileParser {
         String line = reader.readLine();
         while (line != null && !line.isBlank()) {
             log.debug("Parsing line {}", line);
-            try {
-                targets.add(parse(line, clazz));
-            } catch (ReflectiveOperationException e) {
-                throw new ParserException(e);
-            }
+            byte[] bytes = line.getBytes(charset);
+            targets.add(parseRecord(rawLine(bytes, bytes.length), clazz));
             line = reader.readLine();
         }
         return targets;
     }
 
-    private <T> T parse(String line, Class<T> clazz) throws ReflectiveOperationException, ParserException {
+    /**
+     * Only the fields of a record are decoded, the remaining bytes of the line are never turned into characters.
+     */
+    private RawLine rawLine(byte[] bytes, int length) {
+        return (start, end) -> {
+            Objects.checkFromToIndex(start, end, length);
+            return decoder.decode(bytes, start, end);
+        };
+    }
+
+    private <T> T parseRecord(RawLine line, Class<T> clazz) throws ParserException {
+        try {
+            return parse(line, clazz);
+        } catch (ReflectiveOperationException e) {
+            throw new ParserException(e);
+        }
+    }
+
+    private <T> T parse(RawLine line, Class<T> clazz) throws ReflectiveOperationException, ParserException {
         LineParser<T> lineParser = new LineParserImpl<>(line, clazz.getDeclaredConstructor().newInstance());
         List<java.lang.reflect.Field> fields = getFields(clazz);
         if (fields.isEmpty()) {
@@ -91,6 +153,127 @@ class FlatFileParserImpl implements FlatFileParser {
                 .toList();
     }
 
+    @Override
+    public <T> void diff(
+            Path previous,
+            Path current,
+            Class<T> clazz,
+            Consumer<RecordChange<T>> consumer
+    ) throws IOException, ParserException {
+        List<Field> keyFields = getFields(clazz).stream()
+                .map(f -> f.getAnnotation(Field.class))
+                .filter(Field::key)
+                .toList();
+        if (keyFields.isEmpty()) {
+            throw new ParserException("Cant diff data, no key field defined for class %s.".formatted(clazz));
+        }
+        Map<String, Long> previousHashes = new HashMap<>();
+        try (ByteLineReader reader = new ByteLineReader(Files.newInputStream(previous), decoder)) {
+            int lineNumber = 0;
+            while (reader.readLine() && !decoder.isBlank(reader.line(), reader.length())) {
+                lineNumber++;
+                String key = extractKey(reader.line(), reader.length(), keyFields, lineNumber, previous);
+                if (previousHashes.put(key, hash(reader.line(), reader.length())) != null) {
+                    throw duplicateKey(key, lineNumber, previous);
+                }
+            }
+        }
+        // Lines of the current file whose previous counterpart has to be read again to emit the update
+        Map<String, byte[]> updatedLines = new HashMap<>();
+        Set<String> insertedKeys = new HashSet<>();
+        int matched = 0;
+        try (ByteLineReader reader = new ByteLineReader(Files.newInputStream(current), decoder)) {
+            int lineNumber = 0;
+            while (reader.readLine() && !decoder.isBlank(reader.line(), reader.length())) {
+                lineNumber++;
+                byte[] line = reader.line();
+                int length = reader.length();
+                String key = extractKey(line, length, keyFields, lineNumber, current);
+                Long previousHash = previousHashes.get(key);
+                if (previousHash == null) {
+                    if (!insertedKeys.add(key)) {
+                        throw duplicateKey(key, lineNumber, current);
+                    }
+                    log.debug("Inserted record with key {}", key);
+                    consumer.accept(new RecordChange.Insert<>(parseRecord(rawLine(line, length), clazz)));
+                    continue;
+                }
+                if (previousHash == MATCHED) {
+                    throw duplicateKey(key, lineNumber, current);
+                }
+                previousHashes.put(key, MATCHED);
+                matched++;
+                if (previousHash != hash(line, length)) {
+                    updatedLines.put(key, Arrays.copyOf(line, length));
+                }
+            }
+        }
+        // Keys which have not been matched were not present in the current file and thus have been deleted
+        if (matched == previousHashes.size() && updatedLines.isEmpty()) {
+            return;
+        }
+        try (ByteLineReader reader = new ByteLineReader(Files.newInputStream(previous), decoder)) {
+            int lineNumber = 0;
+            while (reader.readLine() && !decoder.isBlank(reader.line(), reader.length())) {
+                lineNumber++;
+                byte[] line = reader.line();
+                int length = reader.length();
+                String key = extractKey(line, length, keyFields, lineNumber, previous);
+                byte[] currentLine = updatedLines.remove(key);
+                if (currentLine != null) {
+                    log.debug("Updated record with key {}", key);
+                    consumer.accept(new RecordChange.Update<>(parseRecord(rawLine(line, length), clazz),
+                            parseRecord(rawLine(currentLine, currentLine.length), clazz)
+                    ));
+                } else if (previousHashes.get(key) != MATCHED) {
+                    log.debug("Deleted record with key {}", key);
+                    consumer.accept(new RecordChange.Delete<>(parseRecord(rawLine(line, length), clazz)));
+                }
+            }
+        }
+    }
+
+    private static ParserException duplicateKey(String key, int lineNumber, Path path) {
+        return new ParserException("Cant diff data, duplicate key '%s' in line %d of %s.".formatted(key,
+                lineNumber,
+                path
+        ));
+    }
+
+    /**
+     * The key is built from the raw bytes of the key fields. Each byte is mapped to a single character, so the key
+     * does not depend on the charset and is never decoded.
+     */
+    private static String extractKey(
+            byte[] line,
+            int length,
+            List<Field> keyFields,
+            int lineNumber,
+            Path path
+    ) throws ParserException {
+        StringBuilder key = new StringBuilder();
+        for (Field keyField : keyFields) {
+            if (keyField.end() > length) {
+                throw new ParserException("Cant diff data, key field [%d,%d) exceeds line %d of %s with a length of %d."
+                        .formatted(keyField.start(), keyField.end(), lineNumber, path, length));
+            }
+            key.append(new String(line, keyField.start(), keyField.end() - keyField.start(), StandardCharsets.ISO_8859_1));
+        }
+        return key.toString();
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the raw bytes of a line. The key part is equal for matched records, so hashing the whole
+     * line is equivalent to hashing the remaining data. Never returns {@link FlatFileParserImpl#MATCHED}.
+     */
+    private static long hash(byte[] line, int length) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < length; i++) {
+            hash ^= line[i] & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash == MATCHED ? hash + 1 : hash;
+    }
 
     @Override
     public <T> void write(OutputStream stream, List<T> dataList) throws IOException, ParserException {
@@ -99,28 +282,33 @@ class FlatFileParserImpl implements FlatFileParser {
         }
         for (T concreteObject : dataList) {
             List<java.lang.reflect.Field> fields = getFields(concreteObject.getClass());
-            StringBuilder row = new StringBuilder();
+            ByteArrayOutputStream row = new ByteArrayOutputStream();
             for (java.lang.reflect.Field field : fields) {
                 try {
-                    row.append(computeColumn(concreteObject, field));
+                    writeColumn(row, concreteObject, field);
                 } catch (ReflectiveOperationException e) {
                     throw new ParserException(e);
                 }
             }
-            row.append("%n".formatted());
-            stream.write(row.toString().getBytes(StandardCharsets.UTF_8));
+            row.writeBytes("%n".formatted().getBytes(charset));
+            row.writeTo(stream);
         }
     }
 
-    private <T> String computeColumn(
+    private <T> void writeColumn(
+            ByteArrayOutputStream row,
             T concreteObject,
             java.lang.reflect.Field field
     ) throws IllegalAccessException, InvocationTargetException {
         Method getter = findGetter(field, concreteObject);
-        String data = getter.invoke(concreteObject).toString();
-        return data + padding(field, data.length());
+        byte[] data = getter.invoke(concreteObject).toString().getBytes(charset);
+        row.writeBytes(data);
+        row.writeBytes(padding(field, data.length).getBytes(charset));
     }
 
+    /**
+     * Field lengths are measured in bytes, the padding is computed from the encoded length of the data.
+     */
     private String padding(java.lang.reflect.Field field, int dataLength) {
         int fieldLength = field.getAnnotation(Field.class).end() - field.getAnnotation(Field.class).start();
         int unusedSpaceLength = fieldLength - dataLength;
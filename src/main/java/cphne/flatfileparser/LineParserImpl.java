@@ -22,7 +22,7 @@ class LineParserImpl<T> implements LineParser<T> {
 
     private static final Logger log = LoggerFactory.getLogger(LineParserImpl.class);
 
-    private final String line;
+    private final RawLine line;
 
     private final T target;
 
@@ -45,7 +45,7 @@ class LineParserImpl<T> implements LineParser<T> {
     private String extractData(Field field) {
         log.info("Working field {}", field.getName());
         cphne.flatfileparser.Field fieldAnnotation = field.getAnnotation(cphne.flatfileparser.Field.class);
-        String data = line.substring(fieldAnnotation.start(), fieldAnnotation.end()).trim();
+        String data = line.slice(fieldAnnotation.start(), fieldAnnotation.end()).trim();
         log.info("Extracted data '{}' with boundaries {},{}", data, fieldAnnotation.start(), fieldAnnotation.end());
         return data;
     }
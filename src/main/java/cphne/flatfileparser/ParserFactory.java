@@ -1,5 +1,7 @@
 package cphne.flatfileparser;
 
+import java.nio.charset.Charset;
+
 /**
  * Flat file parser Factory. Providing Methods to create a parser
  */
@@ -19,8 +21,33 @@ public interface ParserFactory {
      * 
      * @param paddingCharacter  the character to be used by the parser to pad fields
      * @return the new parser instance
+     * @throws IllegalArgumentException if the padding character is not encoded as a single byte in UTF-8
      */
     static FlatFileParser newInstance(String paddingCharacter) {
         return new FlatFileParserImpl(paddingCharacter);
     }
+
+    /**
+     * Creates a new parser with the default implementation.
+     *
+     * @param charset  the charset the records are encoded with, field positions are byte offsets in this encoding
+     * @return the new parser instance
+     * @throws IllegalArgumentException if line terminators are not encoded as a single byte in the charset
+     */
+    static FlatFileParser newInstance(Charset charset) {
+        return new FlatFileParserImpl(" ", charset);
+    }
+
+    /**
+     * Creates a new parser with the default implementation.
+     *
+     * @param paddingCharacter  the character to be used by the parser to pad fields
+     * @param charset  the charset the records are encoded with, field positions are byte offsets in this encoding
+     * @return the new parser instance
+     * @throws IllegalArgumentException if the padding character or line terminators are not encoded as a single byte in
+     * the charset
+     */
+    static FlatFileParser newInstance(String paddingCharacter, Charset charset) {
+        return new FlatFileParserImpl(paddingCharacter, charset);
+    }
 }
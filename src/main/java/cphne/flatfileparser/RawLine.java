@@ -0,0 +1,19 @@
+package cphne.flatfileparser;
+
+/**
+ * Represents a single, not yet decoded line of a flat file.
+ * <p>
+ * Allows a {@link LineParser} to extract the data of a single field without decoding the whole line.
+ */
+@FunctionalInterface
+interface RawLine {
+
+    /**
+     * Extract the data between the provided positions
+     *
+     * @param start  the start position of the field, inclusive
+     * @param end  the end position of the field, exclusive
+     * @return the data of the field, not trimmed
+     */
+    String slice(int start, int end);
+}
@@ -0,0 +1,40 @@
+package cphne.flatfileparser;
+
+/**
+ * Represents a change of a single record between two versions of a flat file
+ * <p>
+ * Records are matched by their key fields, see {@link Field#key()}. Only records which actually changed are mapped
+ * into objects.
+ *
+ * @param <T> the type of objects in which the data of a record is mapped
+ */
+public sealed interface RecordChange<T> permits RecordChange.Insert, RecordChange.Update, RecordChange.Delete {
+
+    /**
+     * A record which is only present in the current version of the flat file
+     *
+     * @param current  the inserted record
+     * @param <T> the type of the record
+     */
+    record Insert<T>(T current) implements RecordChange<T> {
+    }
+
+    /**
+     * A record which is present in both versions of the flat file but differs in its data
+     *
+     * @param previous  the record as read from the previous version
+     * @param current  the record as read from the current version
+     * @param <T> the type of the record
+     */
+    record Update<T>(T previous, T current) implements RecordChange<T> {
+    }
+
+    /**
+     * A record which is only present in the previous version of the flat file
+     *
+     * @param previous  the deleted record
+     * @param <T> the type of the record
+     */
+    record Delete<T>(T previous) implements RecordChange<T> {
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -263,4 +265,240 @@ class FlatFileParserImplTest {
             }
         }
     }
+
+    @Nested
+    class DiffTest {
+
+        private final Path previousPath = Path.of("src/test/resources/diff-previous.txt");
+
+        private final Path currentPath = Path.of("src/test/resources/diff-current.txt");
+
+        private final Path duplicatePath = Path.of("src/test/resources/diff-duplicate.txt");
+
+        private final Path shortPath = Path.of("src/test/resources/diff-short.txt");
+
+        private final Path emptyPath = Path.of("src/test/resources/diff-empty.txt");
+
+        @Nested
+        class GivenChangedRecordsTest {
+
+            private List<RecordChange<Person>> changes;
+
+            @BeforeEach
+            void setUp() throws ParserException, IOException {
+                changes = new ArrayList<>();
+                parser.diff(previousPath, currentPath, Person.class, changes::add);
+            }
+
+            @Test
+            void reportsEachChangedRecordOnce() {
+                assertThat(changes).hasSize(3);
+            }
+
+            @Test
+            void reportsInsertedRecord() {
+                assertThat(changes).filteredOn(RecordChange.Insert.class::isInstance)
+                        .singleElement()
+                        .satisfies(c -> {
+                            Person p = ((RecordChange.Insert<Person>) c).current();
+                            assertThat(p.getFirstname()).isEqualTo("neville");
+                            assertThat(p.getLastname()).isEqualTo("longbott");
+                        });
+            }
+
+            @Test
+            void reportsUpdatedRecord() {
+                assertThat(changes).filteredOn(RecordChange.Update.class::isInstance)
+                        .singleElement()
+                        .satisfies(c -> {
+                            RecordChange.Update<Person> update = (RecordChange.Update<Person>) c;
+                            assertThat(update.previous().getFirstname()).isEqualTo("parry");
+                            assertThat(update.previous().getAge()).isEqualTo(16);
+                            assertThat(update.current().getFirstname()).isEqualTo("parry");
+                            assertThat(update.current().getAge()).isEqualTo(17);
+                        });
+            }
+
+            @Test
+            void reportsDeletedRecord() {
+                assertThat(changes).filteredOn(RecordChange.Delete.class::isInstance)
+                        .singleElement()
+                        .satisfies(c -> assertThat(((RecordChange.Delete<Person>) c).previous()
+                                .getFirstname()).isEqualTo("ron"));
+            }
+        }
+
+        @Test
+        void givenFilesAreEqualThenReportsNoChanges() throws ParserException, IOException {
+            List<RecordChange<Person>> result = new ArrayList<>();
+            parser.diff(previousPath, previousPath, Person.class, result::add);
+            assertThat(result).isEmpty();
+        }
+
+        @Nested
+        class ThrowsAParserExceptionTest {
+            @Test
+            void givenPreviousFileContainsADuplicateKeyThenThrowsAParserException() {
+                assertThatExceptionOfType(ParserException.class).isThrownBy(() -> parser.diff(duplicatePath,
+                                currentPath,
+                                Person.class,
+                                c -> {
+                                }
+                        ))
+                        .withMessage("Cant diff data, duplicate key 'parry   ' in line 2 of %s.".formatted(
+                                duplicatePath));
+            }
+
+            @Test
+            void givenCurrentFileContainsADuplicateKeyThenThrowsAParserException() {
+                assertThatExceptionOfType(ParserException.class).isThrownBy(() -> parser.diff(previousPath,
+                                duplicatePath,
+                                Person.class,
+                                c -> {
+                                }
+                        ))
+                        .withMessage("Cant diff data, duplicate key 'parry   ' in line 2 of %s.".formatted(
+                                duplicatePath));
+            }
+
+            @Test
+            void givenCurrentFileContainsADuplicateInsertedKeyThenThrowsAParserException() {
+                assertThatExceptionOfType(ParserException.class).isThrownBy(() -> parser.diff(emptyPath,
+                                duplicatePath,
+                                Person.class,
+                                c -> {
+                                }
+                        ))
+                        .withMessage("Cant diff data, duplicate key 'parry   ' in line 2 of %s.".formatted(
+                                duplicatePath));
+            }
+
+            @Test
+            void givenALineIsShorterThanTheKeyThenThrowsAParserException() {
+                assertThatExceptionOfType(ParserException.class).isThrownBy(() -> parser.diff(previousPath,
+                                shortPath,
+                                Person.class,
+                                c -> {
+                                }
+                        ))
+                        .withMessage("Cant diff data, key field [0,8) exceeds line 2 of %s with a length of 3."
+                                .formatted(shortPath));
+            }
+
+            @Test
+            void givenTheTypeDoesNotDefineAKeyFieldThenThrowsAParserException() {
+                assertThatExceptionOfType(ParserException.class).isThrownBy(() -> parser.diff(previousPath,
+                                currentPath,
+                                NoKeyDefinedDummy.class,
+                                c -> {
+                                }
+                        ))
+                        .withMessage("Cant diff data, no key field defined for class %s.".formatted(
+                                NoKeyDefinedDummy.class));
+            }
+
+            static class NoKeyDefinedDummy {
+                @Field(start = 0, end = 8)
+                private String name;
+            }
+        }
+    }
+
+    @Nested
+    class CharsetTest {
+
+        private static final Charset EBCDIC = Charset.forName("Cp037");
+
+        @Test
+        void givenLatin1ThenFieldPositionsAreBytes() throws ParserException, IOException {
+            byte[] data = "jürgen  müller  42 male      \n".getBytes(StandardCharsets.ISO_8859_1);
+            Person p = ParserFactory.newInstance(StandardCharsets.ISO_8859_1)
+                    .parse(new ByteArrayInputStream(data), Person.class)
+                    .get(0);
+            assertThat(p.getFirstname()).isEqualTo("jürgen");
+            assertThat(p.getLastname()).isEqualTo("müller");
+            assertThat(p.getAge()).isEqualTo(42);
+        }
+
+        @Test
+        void givenUtf8ThenFieldPositionsAreBytes() throws ParserException, IOException {
+            byte[] data = "jürgen müller 42 male      \r\n".getBytes(StandardCharsets.UTF_8);
+            Person p = parser.parse(new ByteArrayInputStream(data), Person.class).get(0);
+            assertThat(p.getFirstname()).isEqualTo("jürgen");
+            assertThat(p.getLastname()).isEqualTo("müller");
+            assertThat(p.getAge()).isEqualTo(42);
+        }
+
+        @Test
+        void givenUtf8AndReaderThenFieldPositionsAreBytes() throws ParserException, IOException {
+            BufferedReader reader = new BufferedReader(new StringReader("jürgen müller 42 male      \n"));
+            Person p = parser.parse(reader, Person.class).get(0);
+            assertThat(p.getFirstname()).isEqualTo("jürgen");
+            assertThat(p.getLastname()).isEqualTo("müller");
+            assertThat(p.getAge()).isEqualTo(42);
+        }
+
+        @Test
+        void givenUtf8ThenWritePadsToByteLength() throws ParserException, IOException {
+            Person p = new Person();
+            p.setFirstname("jürgen");
+            p.setLastname("müller");
+            p.setAge(42);
+            p.setGender("male");
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            debugParser.write(stream, List.of(p));
+            assertThat(stream.toString(StandardCharsets.UTF_8)).isEqualToNormalizingNewlines("""
+                    jürgen.müller.42.male......
+                    """);
+        }
+
+        @Test
+        void givenEbcdicThenWrittenRecordsCanBeParsed() throws ParserException, IOException {
+            FlatFileParser ebcdicParser = ParserFactory.newInstance(EBCDIC);
+            Person p = new Person();
+            p.setFirstname("parry");
+            p.setLastname("hotter");
+            p.setAge(16);
+            p.setGender("male");
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            ebcdicParser.write(stream, List.of(p, p));
+            assertThat(stream.toByteArray()).startsWith("parry   ".getBytes(EBCDIC));
+
+            List<Person> persons = ebcdicParser.parse(new ByteArrayInputStream(stream.toByteArray()), Person.class);
+            assertThat(persons).hasSize(2);
+            assertThat(persons.get(1).getFirstname()).isEqualTo("parry");
+            assertThat(persons.get(1).getLastname()).isEqualTo("hotter");
+            assertThat(persons.get(1).getAge()).isEqualTo(16);
+            assertThat(persons.get(1).getGender()).isEqualTo("male");
+        }
+
+        @Test
+        void givenPadCharacterIsNotASingleByteThenThrowsAnIllegalArgumentException() {
+            assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> ParserFactory.newInstance("ä",
+                            StandardCharsets.UTF_8
+                    ))
+                    .withMessage("Unsupported pad character 'ä', it must be encoded as a single byte in UTF-8.");
+        }
+
+        @Test
+        void givenPadCharacterIsASingleByteInTheCharsetThenWritesFullRecord() throws ParserException, IOException {
+            Person p = new Person();
+            p.setFirstname("parry");
+            p.setLastname("hotter");
+            p.setAge(16);
+            p.setGender("male");
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            ParserFactory.newInstance("ä", StandardCharsets.ISO_8859_1).write(stream, List.of(p));
+            assertThat(stream.toString(StandardCharsets.ISO_8859_1)).isEqualToNormalizingNewlines("""
+                    parryääähotterää16ämaleääääää
+                    """);
+        }
+
+        @Test
+        void givenLineTerminatorsAreNotSingleBytesThenThrowsAnIllegalArgumentException() {
+            assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> ParserFactory.newInstance(
+                            StandardCharsets.UTF_16))
+                    .withMessage("Unsupported charset UTF-16, line terminators must be encoded as a single byte.");
+        }
+    }
 }
@@ -7,7 +7,7 @@ import lombok.Setter;
 @Setter
 public class Person {
 
-    @Field(start = 0, end = 8)
+    @Field(start = 0, end = 8, key = true)
     private String firstname;
 
     @Field(start = 8, end = 16)